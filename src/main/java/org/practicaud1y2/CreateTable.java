@@ -13,6 +13,12 @@ import java.sql.SQLException;
  * </p>
  *
  * <p>
+ * Opcionalmente, la tabla se puede crear particionada por plataforma o por año
+ * (ver {@link Partitioning}), para que las consultas y el mantenimiento
+ * por esas columnas solo trabajen con la partición afectada.
+ * </p>
+ *
+ * <p>
  * Esta clase se apoya en {@link SqlConnect} para obtener la conexión a la base de datos.
  * </p>
  *
@@ -26,15 +32,31 @@ public class CreateTable {
      */
     private static Connection connection;
 
+    /**
+     * Tipo de particionado con el que se crea la tabla juegos.
+     */
+    private final Partitioning partitioning;
+
     /**
      * Constructor de la clase {@code CreateTable}.
      * <p>
      * Al instanciar esta clase, se establece una conexión con la base de datos
-     * usando el método {@link SqlConnect#getConnection()}.
+     * usando el método {@link SqlConnect#getWriteConnection()}.
+     * La tabla juegos se creará sin particiones.
      * </p>
      */
     public CreateTable() {
-        connection = SqlConnect.getConnection();
+        this(Partitioning.NONE);
+    }
+
+    /**
+     * Constructor de la clase {@code CreateTable} que indica cómo particionar la tabla juegos.
+     *
+     * @param partitioning Tipo de particionado con el que se creará la tabla.
+     */
+    public CreateTable(Partitioning partitioning) {
+        connection = SqlConnect.getWriteConnection();
+        this.partitioning = partitioning;
     }
 
     /**
@@ -47,6 +69,15 @@ public class CreateTable {
      * </p>
      *
      * <p>
+     * Si la tabla se crea particionada, se crea también la partición por defecto
+     * y, tras la inserción, cada plataforma o año de los registros iniciales
+     * se traslada a su propia partición mediante {@link Partitions#redistributeDefault(Connection)}.
+     * En ese caso la clave primaria incluye la columna de partición, como exige PostgreSQL.
+     * Si la tabla ya existía con otro particionado (o sin particionar), no se modifica
+     * y se lanza una {@link RuntimeException} antes de insertar ningún registro.
+     * </p>
+     *
+     * <p>
      * En caso de que ocurra algún error durante la ejecución de las sentencias SQL,
      * se captura una {@link SQLException}, se muestra un mensaje de error por consola
      * y se lanza una {@link RuntimeException}.
@@ -55,7 +86,7 @@ public class CreateTable {
     public void createTable() {
         // Sentencia SQL para crear la tabla si no existe
         String sql1 = "CREATE TABLE IF NOT EXISTS juegos (" +
-                "id SERIAL PRIMARY KEY, " +
+                "id SERIAL, " +
                 "titulo VARCHAR(200), " +
                 "plataforma VARCHAR(100), " +
                 "genero VARCHAR(100), " +
@@ -65,7 +96,8 @@ public class CreateTable {
                 "esEdicionEspecial BOOLEAN, " +
                 "estado VARCHAR(50), " +
                 "valorEstimado DOUBLE PRECISION, " +
-                "notas TEXT);";
+                "notas TEXT, " +
+                primaryKey() + ")" + partitionClause() + ";";
 
         // Sentencia SQL para insertar varios registros iniciales en la tabla
         String sql2 = "INSERT INTO juegos (titulo, plataforma, genero, año, desarrollador, editor, esEdicionEspecial, estado, valorEstimado, notas) VALUES " +
@@ -80,10 +112,31 @@ public class CreateTable {
             PreparedStatement statement = connection.prepareStatement(sql1);
             statement.executeUpdate();
 
+            // Si la tabla ya existía, CREATE TABLE IF NOT EXISTS no la modifica:
+            // se comprueba en el catálogo que tiene el particionado pedido
+            Partitioning actual = Partitions.currentPartitioning(connection);
+            if (partitioning != Partitioning.NONE && actual != partitioning) {
+                System.err.println("La tabla juegos ya existe con particionado " + actual +
+                        " y no se puede crear con particionado " + partitioning + ".");
+                throw new RuntimeException("La tabla juegos ya existe con particionado " + actual +
+                        ", distinto del pedido (" + partitioning + ").");
+            }
+
+            // Se crea la partición por defecto, que recoge los valores que aún no tienen partición
+            if (actual != Partitioning.NONE) {
+                PreparedStatement statementDefault = connection.prepareStatement(
+                        "CREATE TABLE IF NOT EXISTS " + Partitions.DEFAULT_PARTITION + " PARTITION OF juegos DEFAULT;");
+                statementDefault.executeUpdate();
+            }
+
             // Se insertan los registros en la tabla
             PreparedStatement statement2 = connection.prepareStatement(sql2);
             statement2.executeUpdate();
 
+            // Se trasladan los registros iniciales a la partición de su plataforma o año
+            Partitions.redistributeDefault(connection);
+            SqlConnect.registerWrite(connection);
+
             System.out.println("Tabla creada e insertados los datos correctamente.");
 
         } catch (SQLException e) {
@@ -93,4 +146,39 @@ public class CreateTable {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Devuelve la definición de la clave primaria de la tabla juegos.
+     * <p>
+     * En una tabla particionada la clave primaria debe incluir la columna de partición.
+     * </p>
+     *
+     * @return la cláusula {@code PRIMARY KEY} de la tabla.
+     */
+    private String primaryKey() {
+        switch (partitioning) {
+            case PLATFORM:
+                return "PRIMARY KEY (id, plataforma)";
+            case YEAR:
+                return "PRIMARY KEY (id, año)";
+            default:
+                return "PRIMARY KEY (id)";
+        }
+    }
+
+    /**
+     * Devuelve la cláusula {@code PARTITION BY} de la tabla juegos, o una cadena vacía si no se particiona.
+     *
+     * @return la cláusula de particionado de la tabla.
+     */
+    private String partitionClause() {
+        switch (partitioning) {
+            case PLATFORM:
+                return " PARTITION BY LIST (plataforma)";
+            case YEAR:
+                return " PARTITION BY RANGE (año)";
+            default:
+                return "";
+        }
+    }
 }
\ No newline at end of file
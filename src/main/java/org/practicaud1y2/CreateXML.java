@@ -28,22 +28,6 @@ import java.sql.SQLException;
  */
 public class CreateXML {
 
-    /**
-     * Conexión a la base de datos que se usará para obtener los datos.
-     */
-    private static Connection connection;
-
-    /**
-     * Constructor de la clase {@code CreateXML}.
-     * <p>
-     * Cuando se crea un nuevo objeto de esta clase, se establece la conexión con la base de datos
-     * llamando al método {@code getConnection()} de la clase {@code SqlConnect}.
-     * </p>
-     */
-    public CreateXML() {
-        connection = SqlConnect.getConnection();
-    }
-
     /**
      * Crea un archivo XML con los datos obtenidos de la base de datos.
      * <p>
@@ -74,7 +58,8 @@ public class CreateXML {
         String sql = "SELECT * FROM juegos";
 
         // Se ejecuta la consulta y se genera el XML
-        try (PreparedStatement ps = connection.prepareStatement(sql);
+        try (Connection connection = SqlConnect.getReadConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
 
             // Se crea un StringBuilder para construir el contenido del archivo XML
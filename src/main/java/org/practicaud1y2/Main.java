@@ -42,9 +42,12 @@ public class Main {
      * Este método controla la ejecución del flujo principal de la aplicación:
      * <ol>
      *     <li>Conecta con la base de datos PostgreSQL.</li>
-     *     <li>Crea la tabla de juegos (si no existe).</li>
+     *     <li>Crea la tabla de juegos (si no existe), con el particionado indicado
+     *     en la propiedad {@code db.partitioning} ({@code NONE}, {@code PLATFORM} o {@code YEAR}).</li>
      *     <li>Lee los datos desde un archivo XML y los inserta en la base de datos.</li>
      *     <li>Muestra por consola todos los registros almacenados.</li>
+     *     <li>Si se indica una plataforma como argumento, refresca solo sus juegos:
+     *     los elimina, los vuelve a cargar desde el XML y los muestra por consola.</li>
      *     <li>Pide al usuario el nombre del archivo XML de salida.</li>
      *     <li>Genera un nuevo archivo XML con los datos actuales de la base de datos.</li>
      *     <li>Restablece la base de datos a su estado original.</li>
@@ -56,12 +59,13 @@ public class Main {
      * se captura una {@link SQLException} y se muestra un mensaje de error.
      * </p>
      *
-     * @param args Argumentos que se pueden pasar por consola (no se usan en este programa).
+     * @param args Argumentos que se pueden pasar por consola. El primero, si existe,
+     *             es la plataforma cuyos juegos se quieren refrescar.
      */
     public static void main(String[] args) {
 
         // Se crean los objetos necesarios para ejecutar las diferentes tareas del programa
-        CreateTable table = new CreateTable();
+        CreateTable table = new CreateTable(readPartitioning());
         ReadXML xml = new ReadXML();
         ProductDAO dao = new ProductDAO();
         CreateXML createXml = new CreateXML();
@@ -79,6 +83,15 @@ public class Main {
             // Se muestran por consola todos los juegos almacenados en la base de datos
             dao.readAllProducts();
 
+            // Si se indica una plataforma, se refrescan solo sus juegos (con particionado por plataforma,
+            // se borra su partición completa y se vuelve a cargar directamente en ella)
+            if (args.length > 0) {
+                String plataforma = args[0];
+                reset.resetPlatform(plataforma);
+                xml.readXML(plataforma);
+                dao.readProductsByPlatform(plataforma);
+            }
+
             // Se solicita al usuario el nombre del nuevo archivo XML
             Scanner sc = new Scanner(System.in);
             System.out.print("Introduce el nombre del archivo XML (sin extensión): ");
@@ -98,4 +111,23 @@ public class Main {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Lee de la configuración el particionado con el que se crea la tabla juegos.
+     * <p>
+     * Se usa la propiedad {@code db.partitioning}. Si no tiene un valor válido,
+     * se muestra un aviso y la tabla se crea sin particiones.
+     * </p>
+     *
+     * @return el particionado indicado en la configuración.
+     */
+    private static Partitioning readPartitioning() {
+        String value = SqlConnect.getProperty("db.partitioning", "NONE");
+        try {
+            return Partitioning.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Valor no válido para db.partitioning (" + value + "), se usa NONE.");
+            return Partitioning.NONE;
+        }
+    }
 }
\ No newline at end of file
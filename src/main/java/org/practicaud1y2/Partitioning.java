@@ -0,0 +1,30 @@
+package org.practicaud1y2;
+
+/**
+ * El enumerado {@code Partitioning} indica cómo se reparte físicamente
+ * la tabla juegos dentro de la base de datos PostgreSQL.
+ * <p>
+ * Con particionado declarativo, cada partición es una tabla independiente, de modo que
+ * las consultas que filtran por la clave de partición solo recorren las particiones
+ * necesarias y el mantenimiento (cargas, borrados) puede hacerse partición a partición.
+ * </p>
+ *
+ * <p>
+ * El particionado con el que se crea la tabla se elige con la propiedad
+ * {@code db.partitioning} de {@code db.properties}.
+ * </p>
+ *
+ * @author
+ * @version 1.0
+ */
+public enum Partitioning {
+
+    /** La tabla juegos es una tabla normal, sin particiones. */
+    NONE,
+
+    /** La tabla juegos se particiona por lista sobre la columna plataforma. */
+    PLATFORM,
+
+    /** La tabla juegos se particiona por rango sobre la columna año (una partición por año). */
+    YEAR
+}
@@ -0,0 +1,379 @@
+package org.practicaud1y2;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * La clase {@code Partitions} agrupa las operaciones sobre las particiones de la tabla juegos.
+ * <p>
+ * Cuando {@link CreateTable} crea la tabla juegos particionada (ver {@link Partitioning}),
+ * cada plataforma o cada año se guarda en su propia partición, con el nombre
+ * que devuelve {@link #partitionName(String)} o {@link #partitionName(int)}.
+ * Las filas cuyo valor todavía no tiene partición van a parar a la partición
+ * por defecto {@code juegos_default}.
+ * </p>
+ *
+ * <p>
+ * Antes de reutilizar o borrar una partición se comprueba que sus límites, tal como los
+ * muestra PostgreSQL con {@code pg_get_expr}, son exactamente los esperados. Esta comparación
+ * de texto supone {@code standard_conforming_strings = on} (el valor por defecto) y años
+ * positivos, que son los únicos que se admiten.
+ * </p>
+ *
+ * @author
+ * @version 1.0
+ */
+public class Partitions {
+
+    /**
+     * Nombre de la partición por defecto de la tabla juegos.
+     */
+    public static final String DEFAULT_PARTITION = "juegos_default";
+
+    /**
+     * Longitud máxima de un identificador en PostgreSQL.
+     */
+    private static final int MAX_IDENTIFIER = 63;
+
+    /**
+     * Constructor privado: esta clase solo contiene métodos estáticos.
+     */
+    private Partitions() {
+    }
+
+    /**
+     * Indica cómo está particionada actualmente la tabla juegos en la base de datos.
+     * <p>
+     * Se consulta el catálogo {@code pg_partitioned_table}: la estrategia {@code 'l'} (lista)
+     * corresponde a {@link Partitioning#PLATFORM} y la estrategia {@code 'r'} (rango)
+     * a {@link Partitioning#YEAR}. Si la tabla no está particionada, o no existe,
+     * se devuelve {@link Partitioning#NONE}.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @return el tipo de particionado de la tabla juegos.
+     * @throws SQLException si ocurre un error al consultar el catálogo.
+     */
+    public static Partitioning currentPartitioning(Connection connection) throws SQLException {
+        String sql = "SELECT pt.partstrat FROM pg_partitioned_table pt " +
+                "JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = 'juegos' AND pg_table_is_visible(c.oid);";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            if (!resultSet.next()) {
+                return Partitioning.NONE;
+            }
+            switch (resultSet.getString(1)) {
+                case "l":
+                    return Partitioning.PLATFORM;
+                case "r":
+                    return Partitioning.YEAR;
+                default:
+                    return Partitioning.NONE;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el nombre de la partición que corresponde a una plataforma.
+     * <p>
+     * El nombre se forma con el prefijo {@code juegos_}, la plataforma en minúsculas
+     * (sustituyendo cualquier carácter que no sea una letra o un número por un guion bajo)
+     * y un sufijo con el CRC32 del valor exacto. Por ejemplo, "PlayStation 5" se guarda en
+     * {@code juegos_playstation_5_<crc>}. El sufijo distingue plataformas como "PC" y "pc",
+     * que en una partición por lista son valores distintos, y evita que una plataforma
+     * llamada "default" coincida con {@link #DEFAULT_PARTITION}.
+     * </p>
+     *
+     * @param plataforma Plataforma de los juegos.
+     * @return el nombre de la partición.
+     */
+    public static String partitionName(String plataforma) {
+        CRC32 crc = new CRC32();
+        crc.update(plataforma.getBytes(StandardCharsets.UTF_8));
+        String sufijo = String.format("_%08x", crc.getValue());
+
+        String nombre = "juegos_" + plataforma.toLowerCase().replaceAll("[^a-z0-9]", "_");
+        int maximo = MAX_IDENTIFIER - sufijo.length();
+        return (nombre.length() > maximo ? nombre.substring(0, maximo) : nombre) + sufijo;
+    }
+
+    /**
+     * Devuelve el nombre de la partición que corresponde a un año, por ejemplo {@code juegos_2023}.
+     *
+     * @param año Año de lanzamiento de los juegos.
+     * @return el nombre de la partición.
+     * @throws IllegalArgumentException si el año no es positivo.
+     */
+    public static String partitionName(int año) {
+        checkYear(año);
+        return "juegos_" + año;
+    }
+
+    /**
+     * Comprueba si la tabla juegos tiene una partición con el nombre indicado.
+     *
+     * @param connection Conexión con la base de datos.
+     * @param nombre     Nombre de la partición.
+     * @return {@code true} si la partición existe y está vinculada a la tabla juegos.
+     * @throws SQLException si ocurre un error al consultar el catálogo.
+     */
+    public static boolean partitionExists(Connection connection, String nombre) throws SQLException {
+        return currentBounds(connection, nombre) != null;
+    }
+
+    /**
+     * Crea la partición de una plataforma si todavía no existe.
+     * <p>
+     * Si en la partición por defecto ya hay juegos de esa plataforma,
+     * se trasladan a la nueva partición antes de vincularla a la tabla juegos.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @param plataforma Plataforma de los juegos.
+     * @return el nombre de la partición.
+     * @throws SQLException si ocurre un error al crear la partición, o si ya existe
+     *                      una partición con ese nombre pero con otros límites.
+     */
+    public static String ensurePartition(Connection connection, String plataforma) throws SQLException {
+        String nombre = partitionName(plataforma);
+        createPartition(connection, nombre, bounds(plataforma), "plataforma = " + literal(plataforma));
+        return nombre;
+    }
+
+    /**
+     * Crea la partición de un año si todavía no existe.
+     * <p>
+     * Si en la partición por defecto ya hay juegos de ese año,
+     * se trasladan a la nueva partición antes de vincularla a la tabla juegos.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @param año        Año de lanzamiento de los juegos.
+     * @return el nombre de la partición.
+     * @throws SQLException si ocurre un error al crear la partición, o si ya existe
+     *                      una partición con ese nombre pero con otros límites.
+     * @throws IllegalArgumentException si el año no es positivo.
+     */
+    public static String ensurePartition(Connection connection, int año) throws SQLException {
+        String nombre = partitionName(año);
+        createPartition(connection, nombre, bounds(año), "año = " + año);
+        return nombre;
+    }
+
+    /**
+     * Reparte los juegos de la partición por defecto en particiones propias.
+     * <p>
+     * Por cada plataforma (o año, según el particionado de la tabla) presente en
+     * {@code juegos_default} se crea su partición y se trasladan allí sus filas,
+     * de forma que las consultas filtradas por esa columna puedan descartar el resto de particiones.
+     * Los años que no son positivos se quedan en la partición por defecto.
+     * Si la tabla no está particionada, no se hace nada.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @throws SQLException si ocurre un error al crear las particiones.
+     */
+    public static void redistributeDefault(Connection connection) throws SQLException {
+        Partitioning partitioning = currentPartitioning(connection);
+        if (partitioning == Partitioning.NONE || !partitionExists(connection, DEFAULT_PARTITION)) {
+            return;
+        }
+
+        String columna = partitioning == Partitioning.PLATFORM ? "plataforma" : "año";
+        String filtro = partitioning == Partitioning.PLATFORM ? "plataforma IS NOT NULL" : "año > 0";
+        String sql = "SELECT DISTINCT " + columna + " FROM " + quote(DEFAULT_PARTITION) + " WHERE " + filtro + ";";
+
+        // Se leen primero todos los valores, porque crear cada partición modifica la partición por defecto
+        List<String> valores = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                valores.add(resultSet.getString(1));
+            }
+        }
+
+        for (String valor : valores) {
+            if (partitioning == Partitioning.PLATFORM) {
+                ensurePartition(connection, valor);
+            } else {
+                ensurePartition(connection, Integer.parseInt(valor));
+            }
+        }
+    }
+
+    /**
+     * Elimina la partición de una plataforma, con todos sus juegos.
+     * <p>
+     * La partición solo se borra si sus límites son exactamente esa plataforma, de modo que
+     * nunca se borra una partición que guarda otros valores (por ejemplo, la partición por defecto).
+     * Un único {@code DROP TABLE} desvincula y borra la partición en la misma sentencia.
+     * Esta operación no depende del número de filas de la partición,
+     * a diferencia de un {@code DELETE} sobre la tabla juegos.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @param plataforma Plataforma de los juegos que se quieren eliminar.
+     * @return {@code true} si la plataforma tenía su propia partición y se ha eliminado.
+     * @throws SQLException si ocurre un error al eliminar la partición.
+     */
+    public static boolean dropPartition(Connection connection, String plataforma) throws SQLException {
+        String nombre = partitionName(plataforma);
+        if (!bounds(plataforma).equals(currentBounds(connection, nombre))) {
+            return false;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE " + quote(nombre) + ";");
+        }
+        return true;
+    }
+
+    /**
+     * Crea una partición nueva y la vincula a la tabla juegos.
+     * <p>
+     * La partición se crea primero como tabla independiente con la misma estructura que juegos.
+     * Después se trasladan a ella las filas de la partición por defecto que cumplen la condición
+     * y, por último, se vincula a la tabla juegos con los límites indicados.
+     * Todo se ejecuta en una única transacción.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @param nombre     Nombre de la partición.
+     * @param limites    Cláusula {@code FOR VALUES} de la partición.
+     * @param condicion  Condición que cumplen las filas de la partición.
+     * @throws SQLException si ocurre un error al crear la partición, o si ya existe
+     *                      una partición con ese nombre pero con otros límites.
+     */
+    private static void createPartition(Connection connection, String nombre, String limites, String condicion)
+            throws SQLException {
+        String actuales = currentBounds(connection, nombre);
+        if (limites.equals(actuales)) {
+            return;
+        }
+        if (actuales != null) {
+            throw new SQLException("La partición " + nombre + " ya existe con otros límites: " + actuales);
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE " + quote(nombre) +
+                    " (LIKE juegos INCLUDING DEFAULTS INCLUDING CONSTRAINTS);");
+
+            // Se trasladan los juegos que ya estaban guardados en la partición por defecto
+            if (partitionExists(connection, DEFAULT_PARTITION)) {
+                statement.executeUpdate("WITH movidos AS (DELETE FROM " + quote(DEFAULT_PARTITION) +
+                        " WHERE " + condicion + " RETURNING *) " +
+                        "INSERT INTO " + quote(nombre) + " SELECT * FROM movidos;");
+            }
+
+            statement.executeUpdate("ALTER TABLE juegos ATTACH PARTITION " + quote(nombre) + " " + limites + ";");
+            connection.commit();
+
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Devuelve los límites con los que está vinculada a la tabla juegos la partición indicada.
+     * <p>
+     * El texto es el que genera PostgreSQL con {@code pg_get_expr}, por ejemplo
+     * {@code FOR VALUES IN ('PC')}, {@code FOR VALUES FROM (2023) TO (2024)} o {@code DEFAULT}.
+     * </p>
+     *
+     * @param connection Conexión con la base de datos.
+     * @param nombre     Nombre de la partición.
+     * @return los límites de la partición, o {@code null} si no es una partición de juegos.
+     * @throws SQLException si ocurre un error al consultar el catálogo.
+     */
+    private static String currentBounds(Connection connection, String nombre) throws SQLException {
+        String sql = "SELECT pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'juegos'::regclass AND c.relname = ?;";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, nombre);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Devuelve la cláusula {@code FOR VALUES} de la partición de una plataforma,
+     * en el mismo formato que genera PostgreSQL.
+     *
+     * @param plataforma Plataforma de los juegos.
+     * @return los límites de la partición.
+     */
+    private static String bounds(String plataforma) {
+        return "FOR VALUES IN (" + literal(plataforma) + ")";
+    }
+
+    /**
+     * Devuelve la cláusula {@code FOR VALUES} de la partición de un año,
+     * en el mismo formato que genera PostgreSQL para años positivos.
+     *
+     * @param año Año de lanzamiento de los juegos.
+     * @return los límites de la partición.
+     */
+    private static String bounds(int año) {
+        return "FOR VALUES FROM (" + año + ") TO (" + (año + 1) + ")";
+    }
+
+    /**
+     * Comprueba que un año es positivo.
+     * <p>
+     * PostgreSQL muestra los límites negativos entre comillas, por ejemplo {@code ('-5')},
+     * así que no coincidirían con los que genera {@link #bounds(int)}.
+     * </p>
+     *
+     * @param año Año de lanzamiento de los juegos.
+     * @throws IllegalArgumentException si el año no es positivo.
+     */
+    private static void checkYear(int año) {
+        if (año <= 0) {
+            throw new IllegalArgumentException("El año de una partición debe ser positivo: " + año);
+        }
+    }
+
+    /**
+     * Convierte un texto en un literal SQL, duplicando las comillas simples.
+     * <p>
+     * Las sentencias DDL como {@code FOR VALUES IN (...)} no admiten parámetros,
+     * por lo que el valor se tiene que escribir directamente en la sentencia.
+     * </p>
+     *
+     * @param valor Texto a convertir.
+     * @return el texto entre comillas simples.
+     */
+    private static String literal(String valor) {
+        return "'" + valor.replace("'", "''") + "'";
+    }
+
+    /**
+     * Escribe un nombre de tabla entre comillas dobles, para usarlo como identificador en una sentencia SQL.
+     *
+     * @param nombre Nombre de la tabla.
+     * @return el identificador entre comillas dobles.
+     */
+    private static String quote(String nombre) {
+        return "\"" + nombre.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -14,27 +14,17 @@ import java.sql.SQLException;
  * todos los registros de la tabla <strong>juegos</strong>.
  * </p>
  *
+ * <p>
+ * También permite consultar los juegos de una plataforma concreta.
+ * Si la tabla está particionada por plataforma (ver {@link Partitioning}),
+ * PostgreSQL solo recorre la partición correspondiente.
+ * </p>
+ *
  * @author
  * @version 1.0
  */
 public class ProductDAO {
 
-    /**
-     * Objeto de tipo {@link Connection} que representa la conexión con la base de datos.
-     */
-    private Connection connection;
-
-    /**
-     * Constructor de la clase {@code ProductDAO}.
-     * <p>
-     * Cuando se crea un nuevo objeto de esta clase, se obtiene una conexión
-     * a la base de datos a través de la clase {@code SqlConnect}.
-     * </p>
-     */
-    public ProductDAO() {
-        this.connection = SqlConnect.getConnection();
-    }
-
     /**
      * Muestra por consola todos los productos almacenados en la tabla <strong>juegos</strong>.
      * <p>
@@ -52,27 +42,42 @@ public class ProductDAO {
      */
     public void readAllProducts() throws SQLException {
 
-        try {
-            String sql3 = "SELECT * FROM juegos;";
+        String sql3 = "SELECT * FROM juegos;";
 
-            PreparedStatement statement = connection.prepareStatement(sql3);
-            ResultSet resultSet = statement.executeQuery();
+        try (Connection connection = SqlConnect.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql3);
+             ResultSet resultSet = statement.executeQuery()) {
 
             // Se recorre el resultado de la consulta para imprimir cada juego
-            while (resultSet.next()) {
-                System.out.println(
-                        "ID: " + resultSet.getInt("id") +
-                                " | Título: " + resultSet.getString("titulo") +
-                                " | Plataforma: " + resultSet.getString("plataforma") +
-                                " | Género: " + resultSet.getString("genero") +
-                                " | Año: " + resultSet.getInt("año") +
-                                " | Desarrollador: " + resultSet.getString("desarrollador") +
-                                " | Editor: " + resultSet.getString("editor") +
-                                " | Edición especial: " + resultSet.getBoolean("esEdicionEspecial") +
-                                " | Estado: " + resultSet.getString("estado") +
-                                " | Valor estimado: " + resultSet.getInt("valorEstimado") +
-                                " | Nota: " + resultSet.getString("notas")
-                );
+            printProducts(resultSet);
+        } catch (SQLException e) {
+            // Si ocurre un error, se informa al usuario y se imprime la traza del error
+            System.err.println("Error al conectar con la base de datos.");
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Muestra por consola los productos de la tabla <strong>juegos</strong> de una plataforma.
+     * <p>
+     * El filtro sobre la columna plataforma permite a PostgreSQL descartar
+     * el resto de particiones cuando la tabla está particionada por plataforma.
+     * </p>
+     *
+     * @param plataforma Plataforma de los juegos que se quieren mostrar.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta o al comunicarse con la base de datos.
+     */
+    public void readProductsByPlatform(String plataforma) throws SQLException {
+
+        String sql = "SELECT * FROM juegos WHERE plataforma = ?;";
+
+        try (Connection connection = SqlConnect.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, plataforma);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                printProducts(resultSet);
             }
         } catch (SQLException e) {
             // Si ocurre un error, se informa al usuario y se imprime la traza del error
@@ -81,4 +86,28 @@ public class ProductDAO {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Imprime por consola cada uno de los juegos de un resultado de consulta.
+     *
+     * @param resultSet Resultado de una consulta sobre la tabla <strong>juegos</strong>.
+     * @throws SQLException Si ocurre un error al leer el resultado.
+     */
+    private void printProducts(ResultSet resultSet) throws SQLException {
+        while (resultSet.next()) {
+            System.out.println(
+                    "ID: " + resultSet.getInt("id") +
+                            " | Título: " + resultSet.getString("titulo") +
+                            " | Plataforma: " + resultSet.getString("plataforma") +
+                            " | Género: " + resultSet.getString("genero") +
+                            " | Año: " + resultSet.getInt("año") +
+                            " | Desarrollador: " + resultSet.getString("desarrollador") +
+                            " | Editor: " + resultSet.getString("editor") +
+                            " | Edición especial: " + resultSet.getBoolean("esEdicionEspecial") +
+                            " | Estado: " + resultSet.getString("estado") +
+                            " | Valor estimado: " + resultSet.getInt("valorEstimado") +
+                            " | Nota: " + resultSet.getString("notas")
+            );
+        }
+    }
 }
\ No newline at end of file
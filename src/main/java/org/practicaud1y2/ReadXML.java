@@ -8,6 +8,8 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * La clase {@code ReadXML} se encarga de leer un archivo XML con información de videojuegos
@@ -22,6 +24,12 @@ import java.sql.PreparedStatement;
  * El archivo XML debe encontrarse en la ruta src/main/resources/juegos.xml
  * </p>
  *
+ * <p>
+ * También se pueden cargar únicamente los juegos de una plataforma. Si la tabla juegos
+ * está particionada por plataforma (ver {@link Partitioning}), la carga se hace
+ * directamente sobre la partición de esa plataforma, creándola si no existe.
+ * </p>
+ *
  * @author
  * @version 1.0
  */
@@ -74,6 +82,8 @@ public class ReadXML {
      *     <li>Recorre todos los elementos juego dentro del XML.</li>
      *     <li>Extrae los valores de cada etiqueta (título, plataforma, género, etc.).</li>
      *     <li>Inserta los datos en la tabla juegos mediante una sentencia SQL preparada.</li>
+     *     <li>Si la tabla está particionada, traslada a su propia partición los juegos
+     *     que hayan quedado en la partición por defecto.</li>
      * </ol>
      *
      * <p>
@@ -82,8 +92,32 @@ public class ReadXML {
      * </p>
      */
     public void readXML() {
+        loadXML(null);
+    }
+
+    /**
+     * Lee el archivo XML y guarda en la base de datos solo los juegos de la plataforma indicada.
+     * <p>
+     * Si la tabla juegos está particionada por plataforma, los juegos se insertan directamente
+     * en la partición de esa plataforma (creándola si todavía no existe y hay juegos que cargar),
+     * sin pasar por el resto.
+     * En otro caso se insertan en la tabla juegos igual que en {@link #readXML()}.
+     * </p>
+     *
+     * @param plataforma Plataforma de los juegos que se quieren cargar.
+     */
+    public void readXML(String plataforma) {
+        loadXML(plataforma);
+    }
+
+    /**
+     * Lee el archivo XML e inserta los juegos en la base de datos en un único lote.
+     *
+     * @param plataforma Plataforma de los juegos que se quieren cargar, o {@code null} para cargar todos.
+     */
+    private void loadXML(String plataforma) {
         // Se obtiene la conexión con la base de datos
-        this.connection = SqlConnect.getConnection();
+        this.connection = SqlConnect.getWriteConnection();
 
         try {
             // Se prepara el parser DOM para leer el archivo XML
@@ -99,27 +133,49 @@ public class ReadXML {
             // Se obtiene una lista de todos los elementos <juego>
             this.juegosList = root.getElementsByTagName("juego");
 
-            // Se recorren todos los juegos del archivo XML
+            // Si se carga una sola plataforma, se descartan los juegos del resto
+            List<Element> juegos = new ArrayList<>();
             for (int i = 0; i < juegosList.getLength(); i++) {
                 Element juego = (Element) juegosList.item(i);
+                if (plataforma == null
+                        || plataforma.equals(juego.getElementsByTagName("plataforma").item(0).getTextContent())) {
+                    juegos.add(juego);
+                }
+            }
+            if (juegos.isEmpty()) {
+                return;
+            }
+
+            // Se elige la tabla de destino: la partición de la plataforma si existe particionado por plataforma.
+            // Se crea solo ahora, cuando ya se sabe que hay juegos que cargar en ella
+            Partitioning partitioning = Partitions.currentPartitioning(connection);
+            String tabla = "juegos";
+            if (plataforma != null && partitioning == Partitioning.PLATFORM) {
+                tabla = Partitions.ensurePartition(connection, plataforma);
+            }
+
+            // Sentencia SQL para insertar los datos de cada juego en la base de datos
+            String sql4 = "INSERT INTO \"" + tabla + "\" (titulo, plataforma, genero, año, desarrollador, editor, esEdicionEspecial, estado, valorEstimado, notas) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-                // Se leen los valores de cada etiqueta y se asignan a las variables
-                tituloJuego = juego.getElementsByTagName("titulo").item(0).getTextContent();
-                plataformaJuego = juego.getElementsByTagName("plataforma").item(0).getTextContent();
-                generoJuego = juego.getElementsByTagName("genero").item(0).getTextContent();
-                añoJuego = Integer.parseInt(juego.getElementsByTagName("año").item(0).getTextContent());
-                desarrolladorJuego = juego.getElementsByTagName("desarrollador").item(0).getTextContent();
-                editorJuego = juego.getElementsByTagName("editor").item(0).getTextContent();
-                esEdicionEspecialJuego = Boolean.parseBoolean(juego.getElementsByTagName("esEdicionEspecial").item(0).getTextContent());
-                estadoJuego = juego.getElementsByTagName("estado").item(0).getTextContent();
-                valorJuego = Double.parseDouble(juego.getElementsByTagName("valorEstimado").item(0).getTextContent());
-                notasJuego = juego.getElementsByTagName("notas").item(0).getTextContent();
-
-                // Sentencia SQL para insertar los datos del juego en la base de datos
-                String sql4 = "INSERT INTO juegos (titulo, plataforma, genero, año, desarrollador, editor, esEdicionEspecial, estado, valorEstimado, notas) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-                // Se prepara y ejecuta la sentencia SQL con los valores extraídos del XML
-                try (PreparedStatement statement = connection.prepareStatement(sql4)) {
+            // Se prepara la sentencia una sola vez y se acumulan todos los juegos en un lote
+            try (PreparedStatement statement = connection.prepareStatement(sql4)) {
+
+                // Se recorren todos los juegos seleccionados del archivo XML
+                for (Element juego : juegos) {
+
+                    // Se leen los valores de cada etiqueta y se asignan a las variables
+                    tituloJuego = juego.getElementsByTagName("titulo").item(0).getTextContent();
+                    plataformaJuego = juego.getElementsByTagName("plataforma").item(0).getTextContent();
+                    generoJuego = juego.getElementsByTagName("genero").item(0).getTextContent();
+                    añoJuego = Integer.parseInt(juego.getElementsByTagName("año").item(0).getTextContent());
+                    desarrolladorJuego = juego.getElementsByTagName("desarrollador").item(0).getTextContent();
+                    editorJuego = juego.getElementsByTagName("editor").item(0).getTextContent();
+                    esEdicionEspecialJuego = Boolean.parseBoolean(juego.getElementsByTagName("esEdicionEspecial").item(0).getTextContent());
+                    estadoJuego = juego.getElementsByTagName("estado").item(0).getTextContent();
+                    valorJuego = Double.parseDouble(juego.getElementsByTagName("valorEstimado").item(0).getTextContent());
+                    notasJuego = juego.getElementsByTagName("notas").item(0).getTextContent();
+
+                    // Se añaden al lote los valores extraídos del XML
                     statement.setString(1, tituloJuego);
                     statement.setString(2, plataformaJuego);
                     statement.setString(3, generoJuego);
@@ -130,10 +186,17 @@ public class ReadXML {
                     statement.setString(8, estadoJuego);
                     statement.setDouble(9, valorJuego);
                     statement.setString(10, notasJuego);
-
-                    statement.executeUpdate();
+                    statement.addBatch();
                 }
+
+                statement.executeBatch();
+            }
+
+            // Los juegos que han quedado en la partición por defecto se trasladan a su propia partición
+            if (partitioning != Partitioning.NONE) {
+                Partitions.redistributeDefault(connection);
             }
+            SqlConnect.registerWrite(connection);
         } catch (Exception e) {
             // Si ocurre un error durante la lectura o inserción, se informa por consola
             System.err.println("Error de lectura del documento.");
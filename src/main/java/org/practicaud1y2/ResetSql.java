@@ -18,6 +18,12 @@ import java.sql.SQLException;
  * para dejar la base de datos en un estado limpio antes de volver a insertar información.
  * </p>
  *
+ * <p>
+ * Si la tabla juegos está particionada (ver {@link Partitioning}), también permite
+ * eliminar de golpe los juegos de una plataforma, borrando
+ * su partición en lugar de borrar las filas una a una.
+ * </p>
+ *
  * @author
  * @version 1.0
  */
@@ -32,11 +38,11 @@ public class ResetSql {
      * Constructor de la clase {@code ResetSql}.
      * <p>
      * Al crear una nueva instancia de esta clase, se obtiene la conexión con la base de datos
-     * mediante el método {@code getConnection()} de la clase {@code SqlConnect}.
+     * mediante el método {@code getWriteConnection()} de la clase {@code SqlConnect}.
      * </p>
      */
     public ResetSql() {
-        connection = SqlConnect.getConnection();
+        connection = SqlConnect.getWriteConnection();
     }
 
     /**
@@ -46,6 +52,11 @@ public class ResetSql {
      * </p>
      *
      * <p>
+     * Si la tabla está particionada, en lugar de {@code DELETE} se usa {@code TRUNCATE},
+     * que vacía todas las particiones sin recorrer sus filas.
+     * </p>
+     *
+     * <p>
      * En caso de que ocurra un error durante la ejecución de las sentencias SQL,
      * se captura una {@link SQLException}, se muestra un mensaje de error y se lanza
      * una excepción de tipo {@link RuntimeException}.
@@ -58,6 +69,11 @@ public class ResetSql {
         String sql6 = "ALTER SEQUENCE juegos_id_seq RESTART WITH 1;";
 
         try {
+            // En una tabla particionada se vacían todas las particiones de golpe
+            if (Partitions.currentPartitioning(connection) != Partitioning.NONE) {
+                sql5 = "TRUNCATE juegos;";
+            }
+
             // Se ejecuta la primera sentencia: eliminar todos los registros
             PreparedStatement statement = connection.prepareStatement(sql5);
             statement.executeUpdate();
@@ -65,6 +81,39 @@ public class ResetSql {
             // Se ejecuta la segunda sentencia: reiniciar la secuencia del ID
             PreparedStatement statement2 = connection.prepareStatement(sql6);
             statement2.executeUpdate();
+            SqlConnect.registerWrite(connection);
+
+        } catch (SQLException e) {
+            // Si ocurre un error al ejecutar las sentencias SQL, se muestra un mensaje y la traza
+            System.err.println("Error al conectar con la base de datos.");
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Elimina de la tabla juegos todos los juegos de una plataforma.
+     * <p>
+     * Si la tabla está particionada por plataforma y la plataforma tiene su propia partición
+     * (con exactamente ese valor como límite), la partición se borra completa.
+     * En otro caso se borran las filas con {@code DELETE}.
+     * </p>
+     *
+     * @param plataforma Plataforma de los juegos que se quieren eliminar.
+     */
+    public void resetPlatform(String plataforma) {
+
+        String sql = "DELETE FROM juegos WHERE plataforma = ?;";
+
+        try {
+            // Si existe la partición de la plataforma, se elimina completa; si no, se borran sus filas
+            if (Partitions.currentPartitioning(connection) != Partitioning.PLATFORM
+                    || !Partitions.dropPartition(connection, plataforma)) {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setString(1, plataforma);
+                statement.executeUpdate();
+            }
+            SqlConnect.registerWrite(connection);
 
         } catch (SQLException e) {
             // Si ocurre un error al ejecutar las sentencias SQL, se muestra un mensaje y la traza
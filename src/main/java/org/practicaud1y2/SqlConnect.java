@@ -1,8 +1,18 @@
 package org.practicaud1y2;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * La clase {@code SqlConnect} se encarga de establecer la conexión con la base de datos PostgreSQL.
@@ -13,6 +23,23 @@ import java.sql.SQLException;
  * </p>
  *
  * <p>
+ * Distingue entre dos tipos de conexión:
+ * </p>
+ * <ul>
+ *     <li>Escritura ({@link #getWriteConnection()}): siempre contra el servidor principal.
+ *     La usan {@code ReadXML}, {@code CreateTable} y {@code ResetSql}.</li>
+ *     <li>Lectura ({@link #getReadConnection()}): se reparte entre las réplicas configuradas.
+ *     La usan {@code ProductDAO} y {@code CreateXML}. Si no hay réplicas, o ninguna responde,
+ *     se usa el servidor principal.</li>
+ * </ul>
+ *
+ * <p>
+ * La configuración se lee del archivo {@code db.properties} del classpath y cada valor
+ * se puede sobrescribir con una propiedad del sistema del mismo nombre (por ejemplo {@code -Ddb.replicas=...}).
+ * El archivo {@code README.md} explica cómo probar el reparto con dos instancias locales de PostgreSQL.
+ * </p>
+ *
+ * <p>
  * Utiliza el controlador JDBC de PostgreSQL para crear la conexión mediante la clase {@link DriverManager}.
  * </p>
  *
@@ -23,25 +50,81 @@ import java.sql.SQLException;
 public class SqlConnect {
 
     /**
-     * URL de conexión a la base de datos PostgreSQL.
+     * Configuración de las conexiones, cargada desde {@code db.properties} y las propiedades del sistema.
+     */
+    private static final Properties CONFIG = loadConfig();
+
+    /**
+     * URL de conexión al servidor principal de PostgreSQL.
      * <p>
-     * Incluye el nombre del host (localhost), el puerto (5433) y el nombre de la base de datos (practicaud1y2).
+     * Por defecto incluye el nombre del host (localhost), el puerto (5433) y el nombre de la base de datos (practicaud1y2).
      * </p>
      */
-    private static final String URL = "jdbc:postgresql://localhost:5433/practicaud1y2";
+    private static final String URL = CONFIG.getProperty("db.primary.url", "jdbc:postgresql://localhost:5433/practicaud1y2");
 
     /**
      * Nombre de usuario utilizado para conectarse a la base de datos.
      */
-    private static final String USER = "postgres";
+    private static final String USER = CONFIG.getProperty("db.user", "postgres");
 
     /**
      * Contraseña del usuario que se usa para la conexión.
      */
-    private static final String PASS = "admin";
+    private static final String PASS = CONFIG.getProperty("db.pass", "admin");
+
+    /**
+     * URLs de las réplicas de lectura.
+     */
+    private static final List<String> REPLICAS = parseReplicas(CONFIG.getProperty("db.replicas", ""));
+
+    /**
+     * Segundos de espera al conectar o comprobar una réplica antes de considerarla caída.
+     */
+    private static final int HEALTHCHECK_TIMEOUT = (int) parseNumber("db.healthcheck.timeout", 2);
+
+    /**
+     * Milisegundos durante los que una réplica caída deja de usarse antes de volver a probarla.
+     */
+    private static final long HEALTHCHECK_RETRY = parseNumber("db.healthcheck.retry", 30) * 1000;
+
+    /**
+     * Indica si por defecto las sesiones leen sus propias escrituras.
+     */
+    private static final boolean READ_YOUR_WRITES = Boolean.parseBoolean(CONFIG.getProperty("db.readYourWrites", "false"));
+
+    /**
+     * Posición de la siguiente réplica a usar, para repartir las lecturas de forma rotatoria.
+     */
+    private static final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Réplicas caídas y momento (en milisegundos) a partir del cual se pueden volver a probar.
+     */
+    private static final Map<String, Long> downReplicas = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si la sesión (el hilo actual) exige leer sus propias escrituras.
+     */
+    private static final ThreadLocal<Boolean> readYourWrites = ThreadLocal.withInitial(() -> READ_YOUR_WRITES);
+
+    /**
+     * Posición del WAL del servidor principal tras la última escritura de la sesión (el hilo actual).
+     */
+    private static final ThreadLocal<String> lastWriteLsn = new ThreadLocal<>();
+
+    /**
+     * Devuelve el valor de una propiedad de la configuración ({@code db.properties} o propiedad del sistema).
+     *
+     * @param key          Nombre de la propiedad.
+     * @param defaultValue Valor que se devuelve si la propiedad no está definida.
+     * @return el valor de la propiedad, o el valor por defecto.
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return CONFIG.getProperty(key, defaultValue);
+    }
 
     /**
-     * Establece y devuelve una conexión con la base de datos PostgreSQL.
+     * Establece y devuelve una conexión con el servidor principal, que recibe todas las escrituras.
      * <p>
      * Este método utiliza el {@link DriverManager} de JDBC para intentar conectarse
      * a la base de datos usando la URL, el usuario y la contraseña definidos anteriormente.
@@ -55,7 +138,7 @@ public class SqlConnect {
      * @return un objeto {@link Connection} que representa la conexión activa con la base de datos.
      * @throws RuntimeException si ocurre un error al intentar establecer la conexión.
      */
-    public static Connection getConnection() {
+    public static Connection getWriteConnection() {
         try {
             // Intenta establecer la conexión con la base de datos PostgreSQL
             Connection conn = DriverManager.getConnection(URL, USER, PASS);
@@ -68,4 +151,239 @@ public class SqlConnect {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Devuelve una conexión para consultas de solo lectura.
+     * <p>
+     * Las réplicas configuradas se prueban por turnos. Una réplica que no responde
+     * dentro del tiempo de espera se marca como caída y no se vuelve a probar hasta
+     * que pasa el tiempo de reintento. Si la sesión lee sus propias escrituras
+     * (ver {@link #setReadYourWrites(boolean)}), solo se usa una réplica que ya haya
+     * aplicado la última escritura de la sesión.
+     * </p>
+     *
+     * <p>
+     * Si no hay ninguna réplica disponible, se devuelve una conexión con el servidor principal.
+     * </p>
+     *
+     * @return un objeto {@link Connection} de solo lectura.
+     * @throws RuntimeException si tampoco se puede conectar con el servidor principal.
+     */
+    public static Connection getReadConnection() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(REPLICAS.size(), 1));
+
+        for (int i = 0; i < REPLICAS.size(); i++) {
+            String url = REPLICAS.get((start + i) % REPLICAS.size());
+
+            // Se omiten las réplicas caídas hasta que pase su tiempo de reintento
+            Long retryAt = downReplicas.get(url);
+            if (retryAt != null && System.currentTimeMillis() < retryAt) {
+                continue;
+            }
+
+            Connection conn = connectReplica(url);
+            if (conn != null) {
+                return conn;
+            }
+        }
+
+        // Si ninguna réplica está disponible, se lee del servidor principal
+        if (!REPLICAS.isEmpty()) {
+            System.err.println("Ninguna réplica disponible, la lectura se hace en el servidor principal.");
+        }
+        Connection conn = getWriteConnection();
+        try {
+            conn.setReadOnly(true);
+        } catch (SQLException e) {
+            System.err.println("Error al conectar con la base de datos.");
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+        return conn;
+    }
+
+    /**
+     * Activa o desactiva, para la sesión actual, la lectura de las propias escrituras.
+     * <p>
+     * Con esta opción activa, después de una escritura las lecturas solo van a una réplica
+     * que ya la haya aplicado, o al servidor principal si ninguna lo ha hecho todavía.
+     * El valor por defecto se toma de la propiedad {@code db.readYourWrites}.
+     * </p>
+     *
+     * @param enabled {@code true} para leer siempre las propias escrituras.
+     */
+    public static void setReadYourWrites(boolean enabled) {
+        readYourWrites.set(enabled);
+        if (!enabled) {
+            lastWriteLsn.remove();
+        }
+    }
+
+    /**
+     * Registra que la sesión actual ha terminado de escribir en el servidor principal.
+     * <p>
+     * Las clases que escriben llaman a este método al acabar. Si la sesión lee sus
+     * propias escrituras, se guarda la posición actual del WAL del servidor principal
+     * para comparar después con la de cada réplica.
+     * </p>
+     *
+     * @param connection Conexión con el servidor principal usada para escribir.
+     * @throws SQLException si ocurre un error al consultar la posición del WAL.
+     */
+    public static void registerWrite(Connection connection) throws SQLException {
+        if (!readYourWrites.get()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_current_wal_lsn()::text;");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            lastWriteLsn.set(resultSet.getString(1));
+        }
+    }
+
+    /**
+     * Intenta conectar con una réplica y comprobar que está en condiciones de atender la lectura.
+     * <p>
+     * Si la réplica no responde, se marca como caída. Si responde pero todavía no ha aplicado
+     * la última escritura de la sesión, se descarta solo para esta lectura.
+     * </p>
+     *
+     * @param url URL de la réplica.
+     * @return la conexión con la réplica, o {@code null} si no se puede usar.
+     */
+    private static Connection connectReplica(String url) {
+        Properties props = new Properties();
+        props.setProperty("user", USER);
+        props.setProperty("password", PASS);
+        props.setProperty("connectTimeout", String.valueOf(HEALTHCHECK_TIMEOUT));
+        props.setProperty("loginTimeout", String.valueOf(HEALTHCHECK_TIMEOUT));
+        props.setProperty("readOnly", "true");
+
+        Connection conn;
+        try {
+            conn = DriverManager.getConnection(url, props);
+            if (!conn.isValid(HEALTHCHECK_TIMEOUT)) {
+                conn.close();
+                throw new SQLException("La réplica no responde: " + url);
+            }
+        } catch (SQLException e) {
+            // La réplica no está disponible: se deja de usar durante un tiempo
+            System.err.println("Réplica no disponible, se usará otra o el servidor principal: " + url);
+            downReplicas.put(url, System.currentTimeMillis() + HEALTHCHECK_RETRY);
+            return null;
+        }
+        downReplicas.remove(url);
+
+        try {
+            if (isCaughtUp(conn)) {
+                return conn;
+            }
+        } catch (SQLException e) {
+            // La réplica no responde a la comprobación: se deja de usar durante un tiempo
+            System.err.println("Error al comprobar el estado de la réplica: " + url);
+            e.printStackTrace();
+            downReplicas.put(url, System.currentTimeMillis() + HEALTHCHECK_RETRY);
+        }
+
+        // La réplica no se usa para esta lectura, así que se cierra su conexión
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar la conexión con la réplica: " + url);
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba si una réplica ya ha aplicado la última escritura de la sesión actual.
+     * <p>
+     * Si la sesión no lee sus propias escrituras, o no ha escrito nada, cualquier réplica sirve.
+     * </p>
+     *
+     * @param conn Conexión con la réplica.
+     * @return {@code true} si la réplica se puede usar para leer.
+     * @throws SQLException si ocurre un error al consultar la posición del WAL.
+     */
+    private static boolean isCaughtUp(Connection conn) throws SQLException {
+        String lsn = lastWriteLsn.get();
+        if (!readYourWrites.get() || lsn == null) {
+            return true;
+        }
+
+        // En un servidor que no es réplica pg_last_wal_replay_lsn() es NULL y la comparación no se cumple
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn;")) {
+            statement.setString(1, lsn);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Lee un valor numérico de la configuración.
+     * <p>
+     * Si el valor no es un número, se muestra un aviso y se usa el valor por defecto,
+     * igual que cuando no se puede leer {@code db.properties}.
+     * </p>
+     *
+     * @param key          Nombre de la propiedad.
+     * @param defaultValue Valor por defecto.
+     * @return el valor de la propiedad, o el valor por defecto si no es válido.
+     */
+    private static long parseNumber(String key, long defaultValue) {
+        String value = CONFIG.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Valor no válido para " + key + " (" + value + "), se usa " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Carga la configuración desde el archivo {@code db.properties} del classpath,
+     * sobrescribiendo cada valor con la propiedad del sistema del mismo nombre si existe.
+     *
+     * @return la configuración de las conexiones.
+     */
+    private static Properties loadConfig() {
+        Properties props = new Properties();
+
+        try (InputStream in = SqlConnect.class.getResourceAsStream("/db.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Error al leer db.properties, se usan los valores por defecto.");
+            e.printStackTrace();
+        }
+
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Convierte la lista de réplicas separadas por comas en una lista de URLs.
+     *
+     * @param value Valor de la propiedad {@code db.replicas}.
+     * @return las URLs de las réplicas, sin espacios ni elementos vacíos.
+     */
+    private static List<String> parseReplicas(String value) {
+        List<String> replicas = new ArrayList<>();
+        for (String url : value.split(",")) {
+            if (!url.isBlank()) {
+                replicas.add(url.trim());
+            }
+        }
+        return replicas;
+    }
+}